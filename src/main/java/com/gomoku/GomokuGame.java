@@ -1,5 +1,6 @@
 package com.gomoku;
 
+import com.gomoku.model.GameSnapshot;
 import com.gomoku.service.GameService;
 import com.gomoku.util.DatabaseUtil;
 
@@ -124,7 +125,8 @@ public class GomokuGame {
      * Displays the current game board on the console, showing row and column numbers and cell contents.
      */
     private void printBoard() {
-        int size = gameService.getBoardSize();
+        GameSnapshot snapshot = gameService.snapshot();
+        int size = snapshot.getBoardSize();
 
         // Print column numbers
         System.out.print("   ");
@@ -137,7 +139,7 @@ public class GomokuGame {
         for (int i = 0; i < size; i++) {
             System.out.printf("%2d|", i + 1);
             for (int j = 0; j < size; j++) {
-                System.out.printf(" %c ", gameService.getCell(i, j));
+                System.out.printf(" %c ", snapshot.getCell(i, j));
             }
             System.out.println();
         }
@@ -156,6 +156,34 @@ public class Board {
         return grid[row][col];
     }
 
+    /**
+     * Copies the contents of the board into a new row-major array of length size * size.
+     *
+     * @return A copy of all cells, where cell (row, col) is at index row * size + col.
+     */
+    public char[] copyCells() {
+        char[] cells = new char[size * size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(grid[i], 0, cells, i * size, size);
+        }
+        return cells;
+    }
+
+    /**
+     * Creates an immutable snapshot of the board together with the given game status.
+     * The snapshot owns its own copy of the cells, so later moves do not affect it.
+     *
+     * @param version The version number of the snapshot.
+     * @param currentPlayer The player whose turn it is ('X' or 'O').
+     * @param gameOver Whether the game has ended.
+     * @param winner The winner ("Human", "Computer" or "Draw"), or null if the game is not over.
+     * @param moveCount The number of moves played so far.
+     * @return A snapshot of the current board state.
+     */
+    public GameSnapshot snapshot(long version, char currentPlayer, boolean gameOver, String winner, int moveCount) {
+        return new GameSnapshot(version, size, copyCells(), currentPlayer, gameOver, winner, moveCount);
+    }
+
     /**
      * Clears the board, making all cells empty and resetting the move count.
      */
@@ -0,0 +1,121 @@
+package com.gomoku.model;
+
+/**
+ * Immutable, versioned view of a Gomoku game at a single point in time.
+ *
+ * <p>Snapshots are produced by the game's writer after every state change and can be
+ * shared freely between threads. Readers such as spectators, renderers or metrics
+ * collectors never block the writer and never see a half-applied move: the board
+ * cells, current player, winner and move count of a snapshot always belong together.</p>
+ *
+ * The version starts at 0 for a fresh game and increases by one with every published
+ * change (including resets), so readers can cheaply detect whether anything changed
+ * since the last snapshot they looked at.
+ *
+ * @author Mohammed Ba Dhib
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public final class GameSnapshot {
+    private final long version;
+    private final int size;
+    private final char[] cells;
+    private final char currentPlayer;
+    private final boolean gameOver;
+    private final String winner;
+    private final int moveCount;
+
+    /**
+     * Constructs a snapshot. The cell array is taken over, not copied, so only {@link Board#snapshot}
+     * may call this with a freshly copied array that nothing else references.
+     *
+     * @param version The version number of this snapshot.
+     * @param size The side length of the square board.
+     * @param cells The board cells in row-major order.
+     * @param currentPlayer The player whose turn it is ('X' or 'O').
+     * @param gameOver Whether the game has ended.
+     * @param winner The winner ("Human", "Computer" or "Draw"), or null if the game is not over.
+     * @param moveCount The number of moves played so far.
+     */
+    GameSnapshot(long version, int size, char[] cells, char currentPlayer,
+                 boolean gameOver, String winner, int moveCount) {
+        if (cells.length != size * size) {
+            throw new IllegalArgumentException("Expected " + size * size + " cells but got " + cells.length);
+        }
+        this.version = version;
+        this.size = size;
+        this.cells = cells;
+        this.currentPlayer = currentPlayer;
+        this.gameOver = gameOver;
+        this.winner = winner;
+        this.moveCount = moveCount;
+    }
+
+    /**
+     * Returns the version of this snapshot.
+     *
+     * @return A number that increases with every published change.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the board size.
+     *
+     * @return The side length of the square board.
+     */
+    public int getBoardSize() {
+        return size;
+    }
+
+    /**
+     * Gets the contents of the cell at the specified position.
+     *
+     * @param row Row index.
+     * @param col Column index.
+     * @return Character representing the cell ('X', 'O', or blank).
+     */
+    public char getCell(int row, int col) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") is outside the board");
+        }
+        return cells[row * size + col];
+    }
+
+    /**
+     * Returns which player's turn it is.
+     *
+     * @return 'X' for human, 'O' for computer.
+     */
+    public char getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Indicates whether the game is over (win or draw).
+     *
+     * @return true if the game is over, false otherwise.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Returns the winner of the game.
+     *
+     * @return "Human", "Computer" or "Draw", or null if the game is not over.
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns the number of moves played so far.
+     *
+     * @return The move count.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+}
@@ -1,8 +1,11 @@
 package com.gomoku.service;
 
 import com.gomoku.model.Board;
+import com.gomoku.model.GameSnapshot;
 import com.gomoku.util.DatabaseUtil;
 
+import java.util.function.Consumer;
+
 /**
  * Service class that manages the core game logic and state for the Gomoku game.
  *
@@ -15,27 +18,73 @@ import com.gomoku.util.DatabaseUtil;
  *   <li>Implementing computer opponent logic</li>
  * </ul>
  *
+ * <p><b>Thread safety:</b> a single instance may be shared between one writer (for example
+ * a network or AI thread) and any number of readers (spectators, renderers, metrics).
+ * Moves are applied under a lock and, after each change, publish a new immutable
+ * {@link GameSnapshot} through a volatile field (copy-on-write). Finished games are
+ * recorded after the lock is released, so database writes never block another writer.
+ * All read methods are served from the latest snapshot, so readers never take a lock
+ * and never copy the board.
+ * Readers that need several values to be consistent with each other should call
+ * {@link #snapshot()} once and read from the returned object.</p>
+ *
  * @author Mohammed Ba Dhib
  * @version 1.0
  * @since 2025-11-24
  */
 public class GameService {
+    // Writer-side state, guarded by this
     private final Board board;
+    private final Consumer<GameSnapshot> resultRecorder;
+    private final PatternEvaluator evaluator;
     private char currentPlayer;
     private boolean gameOver;
     private String winner;
     private int moveCount;
+    private long version;
+
+    // Latest published state, read without locking
+    private volatile GameSnapshot snapshot;
 
     /**
      * Constructs a GameService with a specified board size.
+     * Finished games are saved to the game history database, and the computer uses the
+     * pattern weight table if one is installed (see {@link PatternEvaluator#loadDefault()}).
      *
      * @param size the size of the board (NxN).
      */
     public GameService(int size) {
+        this(size, result -> DatabaseUtil.saveGameResult(
+                result.getWinner(), result.getBoardSize(), result.getMoveCount()),
+                PatternEvaluator.loadDefault());
+    }
+
+    /**
+     * Constructs a GameService with a random computer that hands finished games to the given recorder.
+     *
+     * @param size the size of the board (NxN).
+     * @param resultRecorder receives the final snapshot of every finished game.
+     */
+    GameService(int size, Consumer<GameSnapshot> resultRecorder) {
+        this(size, resultRecorder, null);
+    }
+
+    /**
+     * Constructs a GameService that hands finished games to the given recorder instead of the database.
+     *
+     * @param size the size of the board (NxN).
+     * @param resultRecorder receives the final snapshot of every finished game.
+     * @param evaluator chooses the computer's moves, or null for random moves.
+     */
+    GameService(int size, Consumer<GameSnapshot> resultRecorder, PatternEvaluator evaluator) {
         this.board = new Board(size);
+        this.resultRecorder = resultRecorder;
+        this.evaluator = evaluator;
         this.currentPlayer = 'X'; // Human player is X
         this.gameOver = false;
         this.moveCount = 0;
+        this.version = 0;
+        this.snapshot = createSnapshot();
     }
 
     /**
@@ -47,55 +96,97 @@ public class GameService {
      * @return true if the move is valid and made, false otherwise.
      */
     public boolean makeMove(int row, int col) {
-        if (gameOver || !board.makeMove(row, col, currentPlayer)) {
+        GameSnapshot published = applyMove(row, col);
+        if (published == null) {
             return false;
         }
+        recordIfFinished(published);
+        return true;
+    }
+
+    /**
+     * Applies a move for the current player under the lock and publishes the resulting state.
+     *
+     * @param row the row index (0-based).
+     * @param col the column index (0-based).
+     * @return the published snapshot, or null if the move was rejected.
+     */
+    private synchronized GameSnapshot applyMove(int row, int col) {
+        if (gameOver || !board.makeMove(row, col, currentPlayer)) {
+            return null;
+        }
         moveCount++;
         if (checkWin(row, col)) {
             gameOver = true;
             winner = currentPlayer == 'X' ? "Human" : "Computer";
-            DatabaseUtil.saveGameResult(winner, board.getSize(), moveCount);
-            return true;
-        }
-        if (board.isBoardFull()) {
+        } else if (board.isBoardFull()) {
             gameOver = true;
             winner = "Draw";
-            DatabaseUtil.saveGameResult(winner, board.getSize(), moveCount);
-            return true;
+        } else {
+            currentPlayer = (currentPlayer == 'X') ? 'O' : 'X';
         }
-        currentPlayer = (currentPlayer == 'X') ? 'O' : 'X';
-        return true;
+        return publish();
     }
 
     /**
-     * Makes a random valid move for the computer (player 'O') and updates game state.
+     * Makes a valid move for the computer (player 'O') and updates game state.
+     * The move is chosen by the pattern evaluator if one is loaded, otherwise at random.
      * Only acts if the game is not already over.
      */
     public void makeComputerMove() {
-        if (gameOver) return;
+        GameSnapshot published = applyComputerMove();
+        if (published != null) {
+            recordIfFinished(published);
+        }
+    }
+
+    /**
+     * Chooses and applies the computer's move under the lock.
+     *
+     * @return the published snapshot, or null if no move was made.
+     */
+    private synchronized GameSnapshot applyComputerMove() {
+        if (gameOver) return null;
         int size = board.getSize();
+        if (evaluator != null) {
+            int move = evaluator.bestMove(board.copyCells(), size, 'O');
+            if (move >= 0 && board.makeMove(move / size, move % size, 'O')) {
+                return finishComputerMove(move / size, move % size);
+            }
+            return null;
+        }
         int attempts = 0;
         final int MAX_ATTEMPTS = size * size;
         while (attempts < MAX_ATTEMPTS) {
             int row = (int) (Math.random() * size);
             int col = (int) (Math.random() * size);
             if (board.makeMove(row, col, 'O')) {
-                moveCount++;
-                if (checkWin(row, col)) {
-                    gameOver = true;
-                    winner = "Computer";
-                    DatabaseUtil.saveGameResult(winner, board.getSize(), moveCount);
-                } else if (board.isBoardFull()) {
-                    gameOver = true;
-                    winner = "Draw";
-                    DatabaseUtil.saveGameResult(winner, board.getSize(), moveCount);
-                } else {
-                    currentPlayer = 'X'; // Switch back to human player
-                }
-                return;
+                return finishComputerMove(row, col);
             }
             attempts++;
         }
+        return null;
+    }
+
+    /**
+     * Updates game state after the computer's mark has been placed on the board.
+     *
+     * @param row the row of the computer's move.
+     * @param col the column of the computer's move.
+     * @return the published snapshot.
+     */
+    private GameSnapshot finishComputerMove(int row, int col) {
+        moveCount++;
+        if (checkWin(row, col)) {
+            gameOver = true;
+            winner = "Computer";
+        } else if (board.isBoardFull()) {
+            gameOver = true;
+            winner = "Draw";
+        } else {
+            currentPlayer = 'X'; // Switch back to human player
+        }
+        return publish();
     }
 
     /**
@@ -109,13 +200,55 @@ public class GameService {
         return board.checkWin(row, col, currentPlayer);
     }
 
+    /**
+     * Builds an immutable snapshot of the current writer-side state. Must be called while holding the lock.
+     *
+     * @return a new snapshot carrying the current version.
+     */
+    private GameSnapshot createSnapshot() {
+        return board.snapshot(version, currentPlayer, gameOver, winner, moveCount);
+    }
+
+    /**
+     * Bumps the version and publishes a new snapshot to readers. Must be called while holding the lock.
+     *
+     * @return the snapshot that was published.
+     */
+    private GameSnapshot publish() {
+        version++;
+        GameSnapshot published = createSnapshot();
+        snapshot = published;
+        return published;
+    }
+
+    /**
+     * Hands the final state of a finished game to the result recorder.
+     * Called without holding the lock, so slow persistence never blocks other writers.
+     *
+     * @param published the snapshot published by a move.
+     */
+    private void recordIfFinished(GameSnapshot published) {
+        if (published.isGameOver()) {
+            resultRecorder.accept(published);
+        }
+    }
+
+    /**
+     * Returns the latest published state of the game without blocking the writer.
+     *
+     * @return an immutable snapshot of the board and game status.
+     */
+    public GameSnapshot snapshot() {
+        return snapshot;
+    }
+
     /**
      * Indicates whether the game is over (win or draw).
      *
      * @return true if the game is over, false otherwise.
      */
     public boolean isGameOver() {
-        return gameOver;
+        return snapshot.isGameOver();
     }
 
     /**
@@ -124,7 +257,7 @@ public class GameService {
      * @return the winner as a string, or null if game is not over.
      */
     public String getWinner() {
-        return winner;
+        return snapshot.getWinner();
     }
 
     /**
@@ -133,7 +266,7 @@ public class GameService {
      * @return character representing the current player.
      */
     public char getCurrentPlayer() {
-        return currentPlayer;
+        return snapshot.getCurrentPlayer();
     }
 
     /**
@@ -144,7 +277,7 @@ public class GameService {
      * @return the character at the specified cell ('X', 'O', or blank).
      */
     public char getCell(int row, int col) {
-        return board.getCell(row, col);
+        return snapshot.getCell(row, col);
     }
 
     /**
@@ -153,17 +286,18 @@ public class GameService {
      * @return the board size.
      */
     public int getBoardSize() {
-        return board.getSize();
+        return snapshot.getBoardSize();
     }
 
     /**
      * Resets the game state, clears the board, and sets starting player to human.
      */
-    public void reset() {
+    public synchronized void reset() {
         board.clear();
         currentPlayer = 'X';
         gameOver = false;
         winner = null;
         moveCount = 0;
+        publish();
     }
 }
@@ -0,0 +1,141 @@
+package com.gomoku.service;
+
+/**
+ * Defines the line-pattern features used by the pattern evaluator and its tuning pipeline.
+ *
+ * <p>Every run of five consecutive cells in one of the four line directions is a window.
+ * A window that holds stones of only one player contributes one occurrence of a pattern
+ * to that player. The pattern is the 5-bit occupancy mask of the window, folded together
+ * with its mirror image, so for example {@code XX_X_} and {@code _X_XX} are the same
+ * pattern. Empty windows and completed fives are not patterns.</p>
+ *
+ * Features are laid out as {@link #COUNT} pattern counts for the player to move followed
+ * by {@link #COUNT} pattern counts for the opponent, giving {@link #FEATURE_COUNT} in total.
+ *
+ * @author Mohammed Ba Dhib
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public final class LinePatterns {
+    /** Number of cells in a window. */
+    public static final int WINDOW = 5;
+
+    /** Mask of a window completely filled by one player. */
+    public static final int FIVE = (1 << WINDOW) - 1;
+
+    /** Line directions as {row step, column step}: horizontal, vertical, diagonal \ and diagonal /. */
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    /** Maps every window mask to its pattern index, or -1 for the empty window and five. */
+    private static final int[] PATTERN_OF_MASK = new int[1 << WINDOW];
+
+    /** Number of distinct patterns for one player. */
+    public static final int COUNT;
+
+    /** Number of features per position: patterns of the player to move, then of the opponent. */
+    public static final int FEATURE_COUNT;
+
+    static {
+        int next = 0;
+        for (int mask = 0; mask < PATTERN_OF_MASK.length; mask++) {
+            int mirror = reverse(mask);
+            if (mask == 0 || mask == FIVE) {
+                PATTERN_OF_MASK[mask] = -1;
+            } else if (mirror < mask) {
+                PATTERN_OF_MASK[mask] = PATTERN_OF_MASK[mirror];
+            } else {
+                PATTERN_OF_MASK[mask] = next++;
+            }
+        }
+        COUNT = next;
+        FEATURE_COUNT = 2 * COUNT;
+    }
+
+    private LinePatterns() {
+    }
+
+    /**
+     * Returns the pattern index of a window occupancy mask.
+     *
+     * @param mask 5-bit mask of one player's stones in a window, bit i being the i-th cell.
+     * @return the pattern index in [0, COUNT), or -1 if the mask is empty or a five.
+     */
+    public static int patternOf(int mask) {
+        return PATTERN_OF_MASK[mask];
+    }
+
+    /**
+     * Returns the number of line directions. Directions are identified by an index in [0, directionCount()).
+     *
+     * @return the number of directions.
+     */
+    public static int directionCount() {
+        return DIRECTIONS.length;
+    }
+
+    /**
+     * Returns the row step of a direction.
+     *
+     * @param direction the direction index.
+     * @return the change in row from one cell of a window to the next.
+     */
+    public static int rowStep(int direction) {
+        return DIRECTIONS[direction][0];
+    }
+
+    /**
+     * Returns the column step of a direction.
+     *
+     * @param direction the direction index.
+     * @return the change in column from one cell of a window to the next.
+     */
+    public static int colStep(int direction) {
+        return DIRECTIONS[direction][1];
+    }
+
+    /**
+     * Checks whether the window starting at a cell and running in a direction lies completely on the board.
+     * Every window of a board is visited exactly once by iterating over all directions and all start cells.
+     *
+     * @param size the side length of the square board.
+     * @param row the row of the window's first cell.
+     * @param col the column of the window's first cell.
+     * @param direction the direction index.
+     * @return true if all cells of the window are on the board.
+     */
+    public static boolean fits(int size, int row, int col, int direction) {
+        int endRow = row + rowStep(direction) * (WINDOW - 1);
+        int endCol = col + colStep(direction) * (WINDOW - 1);
+        return endRow < size && endCol >= 0 && endCol < size;
+    }
+
+    /**
+     * Returns the row-major index of the i-th cell of a window.
+     *
+     * @param size the side length of the square board.
+     * @param row the row of the window's first cell.
+     * @param col the column of the window's first cell.
+     * @param direction the direction index.
+     * @param i the position within the window, 0 to WINDOW - 1; bit i of the window mask.
+     * @return the cell index, row * size + col.
+     */
+    public static int cellOf(int size, int row, int col, int direction, int i) {
+        return (row + rowStep(direction) * i) * size + col + colStep(direction) * i;
+    }
+
+    /**
+     * Mirrors a window mask so the first cell becomes the last.
+     *
+     * @param mask 5-bit window mask.
+     * @return the mirrored mask.
+     */
+    private static int reverse(int mask) {
+        int mirror = 0;
+        for (int i = 0; i < WINDOW; i++) {
+            if ((mask & (1 << i)) != 0) {
+                mirror |= 1 << (WINDOW - 1 - i);
+            }
+        }
+        return mirror;
+    }
+}
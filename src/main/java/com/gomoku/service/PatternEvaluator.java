@@ -0,0 +1,225 @@
+package com.gomoku.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Evaluates Gomoku positions with a table of learned line-pattern weights.
+ *
+ * <p>The score of a position is the sum of the weights of all {@link LinePatterns} found
+ * on the board, seen from the player to move, plus a constant bias for having the move.
+ * A positive score favours the player to move. The weights are produced offline by the
+ * tuning pipeline in {@code com.gomoku.tuning} and loaded from a compact binary table:</p>
+ * <pre>
+ * int   magic ("GPW1")
+ * int   feature count (must equal LinePatterns.FEATURE_COUNT)
+ * float weights[feature count]
+ * float bias
+ * </pre>
+ *
+ * @author Mohammed Ba Dhib
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class PatternEvaluator {
+    /** File format marker, the ASCII bytes "GPW1". */
+    public static final int MAGIC = 0x47505731;
+
+    /** Weight table loaded at startup unless overridden by the gomoku.weights system property. */
+    public static final String DEFAULT_WEIGHTS_FILE = "data/pattern-weights.bin";
+
+    private final float[] weights;
+    private final float bias;
+
+    /**
+     * Constructs an evaluator from a weight table.
+     *
+     * @param weights one weight per feature, laid out as described in {@link LinePatterns}.
+     * @param bias the score for having the move.
+     */
+    public PatternEvaluator(float[] weights, float bias) {
+        if (weights.length != LinePatterns.FEATURE_COUNT) {
+            throw new IllegalArgumentException("Expected " + LinePatterns.FEATURE_COUNT
+                    + " weights but got " + weights.length);
+        }
+        this.weights = weights.clone();
+        this.bias = bias;
+    }
+
+    /**
+     * Loads the weight table configured for this installation.
+     * A missing table is not an error: the caller simply has no evaluator.
+     *
+     * @return the evaluator, or null if no readable weight table exists.
+     */
+    public static PatternEvaluator loadDefault() {
+        Path path = Paths.get(System.getProperty("gomoku.weights", DEFAULT_WEIGHTS_FILE));
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return load(path);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error loading pattern weights: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Loads a weight table from a file.
+     *
+     * @param path the weight table file.
+     * @return the evaluator.
+     * @throws IOException if the file cannot be read or is not a weight table.
+     */
+    public static PatternEvaluator load(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads a weight table from a stream.
+     *
+     * @param in the stream positioned at the start of a weight table.
+     * @return the evaluator.
+     * @throws IOException if the stream cannot be read or is not a weight table.
+     */
+    public static PatternEvaluator read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a pattern weight table");
+        }
+        int count = data.readInt();
+        if (count != LinePatterns.FEATURE_COUNT) {
+            throw new IOException("Weight table has " + count + " features, expected "
+                    + LinePatterns.FEATURE_COUNT);
+        }
+        float[] weights = new float[count];
+        for (int i = 0; i < count; i++) {
+            weights[i] = data.readFloat();
+        }
+        return new PatternEvaluator(weights, data.readFloat());
+    }
+
+    /**
+     * Writes this evaluator's weight table to a file, replacing any existing file.
+     *
+     * @param path the destination file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(MAGIC);
+            data.writeInt(weights.length);
+            for (float weight : weights) {
+                data.writeFloat(weight);
+            }
+            data.writeFloat(bias);
+            data.flush();
+        }
+    }
+
+    /**
+     * Returns the weight of a feature.
+     *
+     * @param feature the feature index.
+     * @return the weight.
+     */
+    public float getWeight(int feature) {
+        return weights[feature];
+    }
+
+    /**
+     * Returns the score for having the move.
+     *
+     * @return the bias.
+     */
+    public float getBias() {
+        return bias;
+    }
+
+    /**
+     * Scores a position from the point of view of the player to move.
+     *
+     * @param cells the board cells in row-major order ('X', 'O' or blank).
+     * @param size the side length of the square board.
+     * @param player the player to move.
+     * @return the score; -Float.MAX_VALUE if the opponent already has five in a row.
+     */
+    public float evaluate(char[] cells, int size, char player) {
+        char opponent = player == 'X' ? 'O' : 'X';
+        float score = bias;
+        for (int direction = 0; direction < LinePatterns.directionCount(); direction++) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (!LinePatterns.fits(size, row, col, direction)) {
+                        continue;
+                    }
+                    int own = 0;
+                    int other = 0;
+                    for (int i = 0; i < LinePatterns.WINDOW; i++) {
+                        char cell = cells[LinePatterns.cellOf(size, row, col, direction, i)];
+                        if (cell == player) {
+                            own |= 1 << i;
+                        } else if (cell == opponent) {
+                            other |= 1 << i;
+                        }
+                    }
+                    if (other == LinePatterns.FIVE) {
+                        return -Float.MAX_VALUE;
+                    }
+                    if (own != 0 && other == 0) {
+                        int pattern = LinePatterns.patternOf(own);
+                        if (pattern >= 0) {
+                            score += weights[pattern];
+                        }
+                    } else if (other != 0 && own == 0) {
+                        score += weights[LinePatterns.COUNT + LinePatterns.patternOf(other)];
+                    }
+                }
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Chooses the empty cell that leaves the opponent with the worst position.
+     * A move that completes five in a row is always preferred.
+     *
+     * @param cells the board cells in row-major order; temporarily modified but restored before returning.
+     * @param size the side length of the square board.
+     * @param player the player to move.
+     * @return the chosen cell as row * size + col, or -1 if the board is full.
+     */
+    public int bestMove(char[] cells, int size, char player) {
+        char opponent = player == 'X' ? 'O' : 'X';
+        int best = -1;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != ' ') {
+                continue;
+            }
+            cells[i] = player;
+            float score = -evaluate(cells, size, opponent);
+            cells[i] = ' ';
+            if (score == Float.MAX_VALUE) {
+                return i;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+}
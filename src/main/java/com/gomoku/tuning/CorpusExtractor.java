@@ -0,0 +1,441 @@
+package com.gomoku.tuning;
+
+import com.gomoku.service.LinePatterns;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Turns a corpus of finished games into a {@link FeatureFile} of labelled positions.
+ *
+ * <p>The corpus is a text file with one game per line:</p>
+ * <pre>
+ * &lt;size&gt; &lt;result&gt; &lt;row&gt;,&lt;col&gt; &lt;row&gt;,&lt;col&gt; ...
+ * </pre>
+ * where size is the board side length, result is X, O or D (draw), and moves are 0-based
+ * and alternate starting with X. Blank lines and lines starting with # are ignored.
+ *
+ * <p>Each game is replayed and every position after a move is written with the game
+ * result seen from the player to move. Positions where five in a row is already on the
+ * board carry no information and are dropped. Games with unreadable or illegal moves,
+ * or whose declared winner is not the player who completes five, are skipped and counted.</p>
+ *
+ * <p>The corpus is read sequentially by one thread and cut into batches that are replayed
+ * in parallel. Only a few batches are in flight at any time, so memory stays bounded however
+ * large the corpus is.</p>
+ *
+ * Positions are shuffled on the way out, so a trainer reading the file in chunks sees a
+ * mix of games and corpus segments in every mini-batch instead of runs of consecutive
+ * positions. Records are first scattered at random into bucket files, sized from the
+ * corpus so that each bucket normally fits one in-memory shuffle chunk. Each bucket is
+ * then shuffled and appended to the feature file. For very large corpora the bucket count
+ * is capped; buckets are then shuffled chunk by chunk, which keeps memory bounded at the
+ * cost of a slightly less thorough shuffle. A fixed seed makes the output reproducible.
+ *
+ * @author Mohammed Ba Dhib
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class CorpusExtractor {
+    private static final int GAMES_PER_BATCH = 2048;
+    private static final int MAX_BOARD_SIZE = 64;
+    private static final int SHUFFLE_CHUNK_RECORDS = 1 << 19;
+    private static final int MAX_BUCKETS = 256;
+    private static final int CORPUS_BYTES_PER_POSITION = 4;
+    private static final long SHUFFLE_SEED = 0x5EEDL;
+
+    private final int threads;
+
+    /**
+     * Constructs an extractor that replays games on the given number of threads.
+     *
+     * @param threads the number of worker threads.
+     */
+    public CorpusExtractor(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Extracts all positions of a corpus into a feature file in shuffled order, replacing any existing file.
+     *
+     * @param corpus the corpus text file.
+     * @param featureFile the feature file to write.
+     * @return statistics about the extraction.
+     * @throws IOException if the corpus cannot be read or the feature file cannot be written.
+     */
+    public Stats extract(Path corpus, Path featureFile) throws IOException {
+        long start = System.nanoTime();
+        Stats stats = new Stats();
+        Random random = new Random(SHUFFLE_SEED);
+        Path directory = featureFile.toAbsolutePath().getParent();
+        int bucketCount = bucketCount(Files.size(corpus));
+        List<Path> buckets = new ArrayList<>(bucketCount);
+        try {
+            for (int i = 0; i < bucketCount; i++) {
+                buckets.add(Files.createTempFile(directory, "bucket", ".bin"));
+            }
+            scatter(corpus, buckets, random, stats);
+            gather(buckets, featureFile, random);
+        } finally {
+            for (Path bucket : buckets) {
+                Files.deleteIfExists(bucket);
+            }
+        }
+        stats.nanos = System.nanoTime() - start;
+        return stats;
+    }
+
+    /**
+     * Chooses enough buckets that each is expected to fit in one shuffle chunk.
+     *
+     * @param corpusBytes the size of the corpus file.
+     * @return the number of bucket files to scatter records into.
+     */
+    private static int bucketCount(long corpusBytes) {
+        long expectedRecords = corpusBytes / CORPUS_BYTES_PER_POSITION;
+        long buckets = (expectedRecords + SHUFFLE_CHUNK_RECORDS - 1) / SHUFFLE_CHUNK_RECORDS;
+        return (int) Math.max(1, Math.min(MAX_BUCKETS, buckets));
+    }
+
+    /**
+     * Replays the corpus in parallel and writes every record to a randomly chosen bucket file.
+     */
+    private void scatter(Path corpus, List<Path> buckets, Random random, Stats stats) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ThreadLocal<Map<Integer, FeatureExtractor>> extractors = ThreadLocal.withInitial(HashMap::new);
+        OutputStream[] outs = new OutputStream[buckets.size()];
+        try (BufferedReader reader = Files.newBufferedReader(corpus, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < outs.length; i++) {
+                outs[i] = new BufferedOutputStream(Files.newOutputStream(buckets.get(i)), 1 << 16);
+            }
+            ArrayDeque<Future<Batch>> inFlight = new ArrayDeque<>();
+            List<String> lines = new ArrayList<>(GAMES_PER_BATCH);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == GAMES_PER_BATCH) {
+                    List<String> batch = lines;
+                    inFlight.add(executor.submit(() -> extractBatch(batch, extractors.get())));
+                    lines = new ArrayList<>(GAMES_PER_BATCH);
+                    if (inFlight.size() >= 2 * threads) {
+                        write(inFlight.poll(), outs, random, stats);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                List<String> batch = lines;
+                inFlight.add(executor.submit(() -> extractBatch(batch, extractors.get())));
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.poll(), outs, random, stats);
+            }
+        } finally {
+            executor.shutdownNow();
+            closeAll(outs);
+        }
+    }
+
+    /**
+     * Waits for a batch and scatters its records across the bucket files.
+     */
+    private static void write(Future<Batch> future, OutputStream[] outs, Random random, Stats stats)
+            throws IOException {
+        Batch batch;
+        try {
+            batch = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting features", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Feature extraction failed", e.getCause());
+        }
+        byte[] bytes = batch.bytes.array();
+        for (int offset = 0; offset < batch.bytes.position(); offset += FeatureFile.RECORD_BYTES) {
+            outs[random.nextInt(outs.length)].write(bytes, offset, FeatureFile.RECORD_BYTES);
+        }
+        stats.games += batch.games;
+        stats.skippedGames += batch.skippedGames;
+        stats.positions += batch.positions;
+    }
+
+    /**
+     * Shuffles each bucket in memory, one bounded chunk at a time, and concatenates them into the feature file.
+     */
+    private static void gather(List<Path> buckets, Path featureFile, Random random) throws IOException {
+        byte[] chunk = new byte[SHUFFLE_CHUNK_RECORDS * FeatureFile.RECORD_BYTES];
+        byte[] swap = new byte[FeatureFile.RECORD_BYTES];
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(featureFile), 1 << 16))) {
+            FeatureFile.writeHeader(out);
+            for (Path bucket : buckets) {
+                try (InputStream in = Files.newInputStream(bucket)) {
+                    int filled;
+                    while ((filled = in.readNBytes(chunk, 0, chunk.length)) > 0) {
+                        shuffle(chunk, filled / FeatureFile.RECORD_BYTES, swap, random);
+                        out.write(chunk, 0, filled);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Shuffles fixed-size records in place (Fisher-Yates).
+     */
+    private static void shuffle(byte[] records, int count, byte[] swap, Random random) {
+        int size = FeatureFile.RECORD_BYTES;
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            if (i != j) {
+                System.arraycopy(records, i * size, swap, 0, size);
+                System.arraycopy(records, j * size, records, i * size, size);
+                System.arraycopy(swap, 0, records, j * size, size);
+            }
+        }
+    }
+
+    /**
+     * Closes all streams, reporting the first failure after trying every stream.
+     */
+    private static void closeAll(OutputStream[] outs) throws IOException {
+        IOException failure = null;
+        for (OutputStream out : outs) {
+            if (out == null) {
+                continue;
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Replays a batch of corpus lines and encodes their positions.
+     *
+     * @param lines the corpus lines.
+     * @param extractors this thread's extractors, one per board size.
+     * @return the encoded records and counts.
+     */
+    static Batch extractBatch(List<String> lines, Map<Integer, FeatureExtractor> extractors) {
+        Batch batch = new Batch(lines.size() * 32 * FeatureFile.RECORD_BYTES);
+        short[] features = new short[LinePatterns.FEATURE_COUNT];
+        for (String line : lines) {
+            String game = line.strip();
+            if (game.isEmpty() || game.startsWith("#")) {
+                continue;
+            }
+            int mark = batch.bytes.position();
+            int positions = extractGame(game, extractors, features, batch);
+            if (positions < 0) {
+                batch.bytes.position(mark);
+                batch.skippedGames++;
+            } else {
+                batch.games++;
+                batch.positions += positions;
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Replays one game and appends a record for each of its positions.
+     *
+     * @return the number of records written, or -1 if the game is malformed.
+     */
+    private static int extractGame(String game, Map<Integer, FeatureExtractor> extractors,
+                                   short[] features, Batch batch) {
+        int length = game.length();
+        int[] cursor = {0};
+        int size = parseInt(game, cursor, ' ');
+        skipSpaces(game, cursor);
+        if (size < LinePatterns.WINDOW || size > MAX_BOARD_SIZE || cursor[0] >= length) {
+            return -1;
+        }
+        char result = game.charAt(cursor[0]++);
+        if (result != 'X' && result != 'O' && result != 'D') {
+            return -1;
+        }
+        FeatureExtractor extractor = extractors.computeIfAbsent(size, FeatureExtractor::new);
+        extractor.reset();
+
+        int positions = 0;
+        char player = 'X';
+        while (true) {
+            skipSpaces(game, cursor);
+            if (cursor[0] >= length) {
+                return positions;
+            }
+            if (extractor.hasFive()) {
+                return -1; // moves after the game was already won
+            }
+            int row = parseInt(game, cursor, ',');
+            if (row < 0 || cursor[0] >= length || game.charAt(cursor[0]) != ',') {
+                return -1;
+            }
+            cursor[0]++;
+            int col = parseInt(game, cursor, ' ');
+            if (col < 0 || row >= size || col >= size) {
+                return -1;
+            }
+            boolean completedFive;
+            try {
+                completedFive = extractor.place(row, col, player);
+            } catch (IllegalArgumentException e) {
+                return -1;
+            }
+            if (completedFive && result != player) {
+                return -1; // the declared result contradicts the board
+            }
+            player = player == 'X' ? 'O' : 'X';
+            if (!extractor.hasFive()) {
+                extractor.copyFeatures(player, features, 0);
+                byte label = result == 'D' ? (byte) 1 : result == player ? (byte) 2 : (byte) 0;
+                batch.ensureRemaining(FeatureFile.RECORD_BYTES);
+                FeatureFile.putRecord(batch.bytes, label, features, 0);
+                positions++;
+            }
+        }
+    }
+
+    /**
+     * Parses a non-negative decimal number ending at the terminator, whitespace or the end of the text.
+     *
+     * @return the number, or -1 if there are no digits or another character follows them.
+     */
+    private static int parseInt(String text, int[] cursor, char terminator) {
+        int value = 0;
+        int start = cursor[0];
+        int i = start;
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            value = value * 10 + (text.charAt(i) - '0');
+            if (value > MAX_BOARD_SIZE * MAX_BOARD_SIZE) {
+                return -1;
+            }
+            i++;
+        }
+        cursor[0] = i;
+        if (i == start || (i < text.length() && text.charAt(i) != terminator
+                && !Character.isWhitespace(text.charAt(i)))) {
+            return -1;
+        }
+        return value;
+    }
+
+    private static void skipSpaces(String text, int[] cursor) {
+        while (cursor[0] < text.length() && Character.isWhitespace(text.charAt(cursor[0]))) {
+            cursor[0]++;
+        }
+    }
+
+    /**
+     * Encoded records and counts for one batch of corpus lines.
+     */
+    static final class Batch {
+        ByteBuffer bytes;
+        long games;
+        long skippedGames;
+        long positions;
+
+        Batch(int capacity) {
+            this.bytes = ByteBuffer.allocate(capacity);
+        }
+
+        void ensureRemaining(int needed) {
+            if (bytes.remaining() < needed) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(bytes.capacity() * 2, bytes.position() + needed));
+                bytes.flip();
+                grown.put(bytes);
+                bytes = grown;
+            }
+        }
+    }
+
+    /**
+     * Statistics about one extraction run.
+     */
+    public static final class Stats {
+        private long games;
+        private long skippedGames;
+        private long positions;
+        private long nanos;
+
+        /**
+         * Returns the number of games replayed.
+         *
+         * @return the count of valid games.
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * Returns the number of games skipped because they were malformed or inconsistent.
+         *
+         * @return the count of skipped games.
+         */
+        public long getSkippedGames() {
+            return skippedGames;
+        }
+
+        /**
+         * Returns the number of positions written to the feature file.
+         *
+         * @return the position count.
+         */
+        public long getPositions() {
+            return positions;
+        }
+
+        /**
+         * Returns the wall-clock time of the extraction, including the shuffle.
+         *
+         * @return the duration in nanoseconds.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns the extraction throughput.
+         *
+         * @return the positions written per minute.
+         */
+        public double getPositionsPerMinute() {
+            return nanos == 0 ? 0 : positions * 60e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Extracted %,d positions from %,d games (%,d skipped) in %.2f s, %,.0f positions/min",
+                    positions, games, skippedGames, nanos / 1e9, getPositionsPerMinute());
+        }
+    }
+}
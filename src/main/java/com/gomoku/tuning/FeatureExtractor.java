@@ -0,0 +1,190 @@
+package com.gomoku.tuning;
+
+import com.gomoku.service.LinePatterns;
+
+import java.util.Arrays;
+
+/**
+ * Incrementally counts the {@link LinePatterns} of both players while a game is replayed.
+ *
+ * <p>All windows of the board are enumerated once up front, together with the windows
+ * that pass through each cell. Placing a stone then only touches the (at most twenty)
+ * windows through that cell instead of rescanning the board, which keeps extraction
+ * cost per position constant. Counts are kept in primitive arrays and copied out into
+ * a caller-supplied buffer, so replaying a game allocates nothing.</p>
+ *
+ * Instances are not thread-safe; use one extractor per thread.
+ *
+ * @author Mohammed Ba Dhib
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class FeatureExtractor {
+    private final int size;
+    private final int[][] cellWindows;
+    private final int[][] cellBits;
+    private final char[] cells;
+    private final int[] xMasks;
+    private final int[] oMasks;
+    private final int[] xCounts = new int[LinePatterns.COUNT];
+    private final int[] oCounts = new int[LinePatterns.COUNT];
+    private boolean five;
+
+    /**
+     * Constructs an extractor for an empty board of the given size.
+     *
+     * @param size the side length of the square board.
+     */
+    public FeatureExtractor(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Board size must be positive: " + size);
+        }
+        this.size = size;
+        this.cells = new char[size * size];
+
+        // Count windows per cell first so the per-cell arrays can be sized exactly
+        int[] perCell = new int[size * size];
+        int windows = 0;
+        for (int direction = 0; direction < LinePatterns.directionCount(); direction++) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (LinePatterns.fits(size, row, col, direction)) {
+                        for (int i = 0; i < LinePatterns.WINDOW; i++) {
+                            perCell[LinePatterns.cellOf(size, row, col, direction, i)]++;
+                        }
+                        windows++;
+                    }
+                }
+            }
+        }
+        this.cellWindows = new int[size * size][];
+        this.cellBits = new int[size * size][];
+        for (int cell = 0; cell < perCell.length; cell++) {
+            cellWindows[cell] = new int[perCell[cell]];
+            cellBits[cell] = new int[perCell[cell]];
+        }
+        Arrays.fill(perCell, 0);
+        int window = 0;
+        for (int direction = 0; direction < LinePatterns.directionCount(); direction++) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (LinePatterns.fits(size, row, col, direction)) {
+                        for (int i = 0; i < LinePatterns.WINDOW; i++) {
+                            int cell = LinePatterns.cellOf(size, row, col, direction, i);
+                            cellWindows[cell][perCell[cell]] = window;
+                            cellBits[cell][perCell[cell]] = 1 << i;
+                            perCell[cell]++;
+                        }
+                        window++;
+                    }
+                }
+            }
+        }
+        this.xMasks = new int[windows];
+        this.oMasks = new int[windows];
+        reset();
+    }
+
+    /**
+     * Clears the board and all pattern counts.
+     */
+    public void reset() {
+        Arrays.fill(cells, ' ');
+        Arrays.fill(xMasks, 0);
+        Arrays.fill(oMasks, 0);
+        Arrays.fill(xCounts, 0);
+        Arrays.fill(oCounts, 0);
+        five = false;
+    }
+
+    /**
+     * Places a stone and updates the pattern counts of every window through its cell.
+     *
+     * @param row row index (0-based).
+     * @param col column index (0-based).
+     * @param player the player's mark, 'X' or 'O'.
+     * @return true if the stone completed five in a row.
+     * @throws IllegalArgumentException if the cell is outside the board or already occupied.
+     */
+    public boolean place(int row, int col, char player) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            throw new IllegalArgumentException("Move (" + row + ", " + col + ") is outside the board");
+        }
+        int cell = row * size + col;
+        if (cells[cell] != ' ') {
+            throw new IllegalArgumentException("Cell (" + row + ", " + col + ") is already occupied");
+        }
+        cells[cell] = player;
+        boolean isX = player == 'X';
+        int[] windows = cellWindows[cell];
+        int[] bits = cellBits[cell];
+        boolean completed = false;
+        for (int i = 0; i < windows.length; i++) {
+            int window = windows[i];
+            int x = xMasks[window];
+            int o = oMasks[window];
+            // Only a window that still belongs to the placing player can change its pattern;
+            // a window taken over by the other player stops counting for that player.
+            if (isX) {
+                if (o != 0) {
+                    if (x == 0) {
+                        adjust(oCounts, o, -1);
+                    }
+                } else {
+                    adjust(xCounts, x, -1);
+                    adjust(xCounts, x | bits[i], 1);
+                    completed |= (x | bits[i]) == LinePatterns.FIVE;
+                }
+                xMasks[window] = x | bits[i];
+            } else {
+                if (x != 0) {
+                    if (o == 0) {
+                        adjust(xCounts, x, -1);
+                    }
+                } else {
+                    adjust(oCounts, o, -1);
+                    adjust(oCounts, o | bits[i], 1);
+                    completed |= (o | bits[i]) == LinePatterns.FIVE;
+                }
+                oMasks[window] = o | bits[i];
+            }
+        }
+        five |= completed;
+        return completed;
+    }
+
+    /**
+     * Adds delta to the count of the pattern of a window mask, if the mask is a pattern.
+     */
+    private static void adjust(int[] counts, int mask, int delta) {
+        int pattern = LinePatterns.patternOf(mask);
+        if (pattern >= 0) {
+            counts[pattern] += delta;
+        }
+    }
+
+    /**
+     * Indicates whether any stone placed so far completed five in a row.
+     *
+     * @return true if the position is already decided.
+     */
+    public boolean hasFive() {
+        return five;
+    }
+
+    /**
+     * Copies the current features, seen from the given player to move, into a buffer.
+     *
+     * @param player the player to move.
+     * @param features the destination buffer.
+     * @param offset index of the first of {@link LinePatterns#FEATURE_COUNT} values to write.
+     */
+    public void copyFeatures(char player, short[] features, int offset) {
+        int[] own = player == 'X' ? xCounts : oCounts;
+        int[] other = player == 'X' ? oCounts : xCounts;
+        for (int i = 0; i < LinePatterns.COUNT; i++) {
+            features[offset + i] = (short) own[i];
+            features[offset + LinePatterns.COUNT + i] = (short) other[i];
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.gomoku.tuning;
+
+import com.gomoku.service.LinePatterns;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Binary format of extracted training positions, written once and streamed many times.
+ *
+ * <pre>
+ * int   magic ("GPF1")
+ * int   feature count (LinePatterns.FEATURE_COUNT)
+ * then one record per position:
+ *   byte  result for the player to move (0 = loss, 1 = draw, 2 = win)
+ *   short features[feature count]
+ * </pre>
+ *
+ * Records have a fixed size, so a {@link Reader} can decode a whole chunk of them straight
+ * into primitive arrays without parsing or allocating per position.
+ *
+ * @author Mohammed Ba Dhib
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public final class FeatureFile {
+    /** File format marker, the ASCII bytes "GPF1". */
+    public static final int MAGIC = 0x47504631;
+
+    /** Size of one position record in bytes. */
+    public static final int RECORD_BYTES = 1 + 2 * LinePatterns.FEATURE_COUNT;
+
+    private FeatureFile() {
+    }
+
+    /**
+     * Writes the file header.
+     *
+     * @param out the stream at the start of the file.
+     * @throws IOException if the header cannot be written.
+     */
+    public static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(LinePatterns.FEATURE_COUNT);
+    }
+
+    /**
+     * Encodes one position record into a buffer.
+     *
+     * @param buffer the destination; must have {@link #RECORD_BYTES} bytes remaining.
+     * @param result the result for the player to move (0 = loss, 1 = draw, 2 = win).
+     * @param features the feature buffer.
+     * @param offset index of the first feature of this position.
+     */
+    public static void putRecord(ByteBuffer buffer, byte result, short[] features, int offset) {
+        buffer.put(result);
+        for (int i = 0; i < LinePatterns.FEATURE_COUNT; i++) {
+            buffer.putShort(features[offset + i]);
+        }
+    }
+
+    /**
+     * Streams position records from a feature file in fixed-size chunks.
+     */
+    public static final class Reader implements Closeable {
+        private final InputStream in;
+        private final byte[] bytes;
+        private final ByteBuffer buffer;
+
+        /**
+         * Opens a feature file and checks its header.
+         *
+         * @param path the feature file.
+         * @param chunkRecords the maximum number of records returned by one {@link #read} call.
+         * @throws IOException if the file cannot be read or is not a feature file.
+         */
+        public Reader(Path path, int chunkRecords) throws IOException {
+            this.in = new BufferedInputStream(Files.newInputStream(path), 1 << 16);
+            this.bytes = new byte[chunkRecords * RECORD_BYTES];
+            this.buffer = ByteBuffer.wrap(bytes);
+            DataInputStream header = new DataInputStream(in);
+            try {
+                if (header.readInt() != MAGIC) {
+                    throw new IOException("Not a feature file: " + path);
+                }
+                int count = header.readInt();
+                if (count != LinePatterns.FEATURE_COUNT) {
+                    throw new IOException("Feature file has " + count + " features, expected "
+                            + LinePatterns.FEATURE_COUNT);
+                }
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Reads the next chunk of records.
+         *
+         * @param results receives one result per record.
+         * @param features receives {@link LinePatterns#FEATURE_COUNT} features per record.
+         * @return the number of records read, 0 at the end of the file.
+         * @throws IOException if the file cannot be read or ends inside a record.
+         */
+        public int read(byte[] results, short[] features) throws IOException {
+            int filled = 0;
+            while (filled < bytes.length) {
+                int n = in.read(bytes, filled, bytes.length - filled);
+                if (n < 0) {
+                    break;
+                }
+                filled += n;
+            }
+            if (filled % RECORD_BYTES != 0) {
+                throw new EOFException("Feature file ends inside a record");
+            }
+            int records = filled / RECORD_BYTES;
+            buffer.clear();
+            for (int r = 0; r < records; r++) {
+                results[r] = buffer.get();
+                int offset = r * LinePatterns.FEATURE_COUNT;
+                for (int i = 0; i < LinePatterns.FEATURE_COUNT; i++) {
+                    features[offset + i] = buffer.getShort();
+                }
+            }
+            return records;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.gomoku.tuning;
+
+import com.gomoku.service.PatternEvaluator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Offline pipeline that learns the pattern weight table used by the computer opponent.
+ *
+ * <p>The pipeline extracts line-pattern features from a corpus of finished games (see
+ * {@link CorpusExtractor} for the corpus format) into a temporary feature file, fits the
+ * weights with {@link TexelTrainer} and exports them as a weight table that
+ * {@link PatternEvaluator#loadDefault()} picks up when the game starts. Throughput of both
+ * stages is printed as it runs.</p>
+ *
+ * Usage:
+ * <pre>
+ * java -cp target/classes com.gomoku.tuning.PatternTuner &lt;corpus&gt; [weights] [epochs] [threads] [batch-size] [learning-rate]
+ * </pre>
+ * The weights default to {@value PatternEvaluator#DEFAULT_WEIGHTS_FILE}, epochs to 10, threads
+ * to the number of available processors, batch size to {@value #DEFAULT_BATCH_SIZE} positions
+ * and learning rate to {@value #DEFAULT_LEARNING_RATE}.
+ *
+ * <p>Every mini-batch makes one weight update, so an epoch takes positions / batch-size steps.
+ * Smaller batches give more, noisier steps per epoch and suit small corpora; larger batches
+ * split better across threads and give smoother steps, but a small corpus then gets only a
+ * handful of updates per epoch. The learning rate is the size of each update: raise it or
+ * add epochs when there are few steps, lower it if the loss jumps around between epochs.</p>
+ *
+ * @author Mohammed Ba Dhib
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class PatternTuner {
+    private static final int DEFAULT_BATCH_SIZE = 16384;
+    private static final double DEFAULT_LEARNING_RATE = 0.01;
+
+    /**
+     * Runs the tuning pipeline.
+     *
+     * @param args the corpus file, then optionally the weights file, epoch count, thread count,
+     *             batch size and learning rate.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 6) {
+            usage();
+        }
+        Path corpus = Paths.get(args[0]);
+        Path weights = Paths.get(args.length > 1 ? args[1] : PatternEvaluator.DEFAULT_WEIGHTS_FILE);
+        int epochs = args.length > 2 ? parseCount(args[2]) : 10;
+        int threads = args.length > 3 ? parseCount(args[3]) : Runtime.getRuntime().availableProcessors();
+        int batchSize = args.length > 4 ? parseCount(args[4]) : DEFAULT_BATCH_SIZE;
+        double learningRate = args.length > 5 ? parseRate(args[5]) : DEFAULT_LEARNING_RATE;
+
+        try {
+            tune(corpus, weights, epochs, threads, batchSize, learningRate);
+        } catch (IOException e) {
+            System.err.println("Error tuning pattern weights: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Parses a count argument, exiting with the usage message unless it is at least 1.
+     */
+    private static int parseCount(String arg) {
+        try {
+            int value = Integer.parseInt(arg);
+            if (value >= 1) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Expected a whole number of at least 1 but got: " + arg);
+        usage();
+        return 0;
+    }
+
+    /**
+     * Parses the learning rate, exiting with the usage message unless it is a positive number.
+     */
+    private static double parseRate(String arg) {
+        try {
+            double value = Double.parseDouble(arg);
+            if (value > 0 && !Double.isInfinite(value)) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Expected a positive learning rate but got: " + arg);
+        usage();
+        return 0;
+    }
+
+    /**
+     * Prints the usage message and exits with status 2.
+     */
+    private static void usage() {
+        System.err.println("Usage: PatternTuner <corpus> [weights] [epochs] [threads] [batch-size] [learning-rate]");
+        System.exit(2);
+    }
+
+    /**
+     * Extracts features from a corpus, trains the weights and writes the weight table.
+     *
+     * @param corpus the corpus of finished games.
+     * @param weights the weight table to write.
+     * @param epochs the number of training passes.
+     * @param threads the number of threads for extraction and training.
+     * @param batchSize the number of positions per weight update.
+     * @param learningRate the size of each weight update.
+     * @return the trained evaluator.
+     * @throws IOException if a file cannot be read or written.
+     * @throws IllegalArgumentException if epochs, threads, batch size or learning rate is not positive.
+     */
+    public static PatternEvaluator tune(Path corpus, Path weights, int epochs, int threads,
+                                        int batchSize, double learningRate) throws IOException {
+        // Validate before extracting so bad settings fail before the slow stage
+        TexelTrainer trainer = new TexelTrainer(threads, batchSize, learningRate);
+        if (epochs < 1) {
+            throw new IllegalArgumentException("Epoch count must be positive: " + epochs);
+        }
+        Path parent = weights.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path features = Files.createTempFile(parent, "features", ".bin");
+        try {
+            CorpusExtractor.Stats stats = new CorpusExtractor(threads).extract(corpus, features);
+            System.out.println(stats);
+            if (stats.getPositions() == 0) {
+                throw new IOException("Corpus " + corpus + " contains no usable positions");
+            }
+
+            PatternEvaluator evaluator = trainer.train(features, epochs, System.out::println);
+            evaluator.save(weights);
+            System.out.println("Wrote pattern weights to " + weights);
+            return evaluator;
+        } finally {
+            Files.deleteIfExists(features);
+        }
+    }
+}
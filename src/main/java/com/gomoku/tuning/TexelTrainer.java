@@ -0,0 +1,249 @@
+package com.gomoku.tuning;
+
+import com.gomoku.service.LinePatterns;
+import com.gomoku.service.PatternEvaluator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Fits pattern weights to game results by logistic regression (Texel-style tuning).
+ *
+ * <p>The evaluation of a position is a linear function of its features,
+ * {@code eval = bias + sum(weight[f] * feature[f])}, and {@code sigmoid(eval)} is read as
+ * the probability that the player to move wins, with draws counting as one half. The
+ * weights minimise the cross-entropy between that probability and the actual results.</p>
+ *
+ * The feature file is streamed in fixed-size chunks, so memory use depends only on the
+ * chunk size. Each chunk is one mini-batch: its gradient is computed in parallel over
+ * slices of primitive arrays and then applied with an Adam update. Mini-batches are only
+ * representative because {@link CorpusExtractor} writes positions in shuffled order. The
+ * batch size trades the number of updates per epoch against parallel efficiency; see
+ * {@link PatternTuner}.
+ *
+ * @author Mohammed Ba Dhib
+ * @version 1.0
+ * @since 2025-11-24
+ */
+public class TexelTrainer {
+    private static final double BETA1 = 0.9;
+    private static final double BETA2 = 0.999;
+    private static final double EPSILON = 1e-8;
+
+    private final int threads;
+    private final int batchSize;
+    private final double learningRate;
+
+    /**
+     * Constructs a trainer.
+     *
+     * @param threads the number of threads computing gradients.
+     * @param batchSize the number of positions per mini-batch and per chunk read from disk.
+     * @param learningRate the Adam step size.
+     */
+    public TexelTrainer(int threads, int batchSize, double learningRate) {
+        if (threads < 1 || batchSize < 1 || learningRate <= 0) {
+            throw new IllegalArgumentException("Threads, batch size and learning rate must be positive");
+        }
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.learningRate = learningRate;
+    }
+
+    /**
+     * Trains weights on a feature file, starting from zero, and reports progress after every epoch.
+     *
+     * @param featureFile the feature file written by {@link CorpusExtractor}.
+     * @param epochs the number of passes over the file.
+     * @param listener receives the statistics of each finished epoch.
+     * @return an evaluator holding the trained weights.
+     * @throws IOException if the feature file cannot be read.
+     * @throws IllegalArgumentException if epochs is less than 1.
+     */
+    public PatternEvaluator train(Path featureFile, int epochs, Consumer<EpochStats> listener) throws IOException {
+        if (epochs < 1) {
+            throw new IllegalArgumentException("Epoch count must be positive: " + epochs);
+        }
+        int featureCount = LinePatterns.FEATURE_COUNT;
+        // Index featureCount holds the bias
+        double[] weights = new double[featureCount + 1];
+        double[] m = new double[featureCount + 1];
+        double[] v = new double[featureCount + 1];
+        long step = 0;
+
+        byte[] results = new byte[batchSize];
+        short[] features = new short[batchSize * featureCount];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int epoch = 1; epoch <= epochs; epoch++) {
+                long start = System.nanoTime();
+                long positions = 0;
+                double loss = 0;
+                try (FeatureFile.Reader reader = new FeatureFile.Reader(featureFile, batchSize)) {
+                    int count;
+                    while ((count = reader.read(results, features)) > 0) {
+                        double[] gradient = gradient(executor, weights, results, features, count);
+                        loss += gradient[featureCount + 1];
+                        positions += count;
+
+                        step++;
+                        double correction1 = 1 - Math.pow(BETA1, step);
+                        double correction2 = 1 - Math.pow(BETA2, step);
+                        for (int i = 0; i <= featureCount; i++) {
+                            double g = gradient[i] / count;
+                            m[i] = BETA1 * m[i] + (1 - BETA1) * g;
+                            v[i] = BETA2 * v[i] + (1 - BETA2) * g * g;
+                            weights[i] -= learningRate * (m[i] / correction1) / (Math.sqrt(v[i] / correction2) + EPSILON);
+                        }
+                    }
+                }
+                listener.accept(new EpochStats(epoch, positions == 0 ? 0 : loss / positions,
+                        positions, System.nanoTime() - start));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        float[] trained = new float[featureCount];
+        for (int i = 0; i < featureCount; i++) {
+            trained[i] = (float) weights[i];
+        }
+        return new PatternEvaluator(trained, (float) weights[featureCount]);
+    }
+
+    /**
+     * Computes the summed loss gradient of one batch by splitting it into slices across threads.
+     *
+     * @return the gradient for every weight and the bias, followed by the summed loss.
+     */
+    private double[] gradient(ExecutorService executor, double[] weights, byte[] results,
+                              short[] features, int count) throws IOException {
+        int slices = Math.min(threads, count);
+        List<Future<double[]>> futures = new ArrayList<>(slices);
+        for (int s = 0; s < slices; s++) {
+            int from = (int) ((long) count * s / slices);
+            int to = (int) ((long) count * (s + 1) / slices);
+            Callable<double[]> slice = () -> sliceGradient(weights, results, features, from, to);
+            futures.add(executor.submit(slice));
+        }
+        double[] total = new double[weights.length + 1];
+        try {
+            for (Future<double[]> future : futures) {
+                double[] partial = future.get();
+                for (int i = 0; i < total.length; i++) {
+                    total[i] += partial[i];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while training", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Training failed", e.getCause());
+        }
+        return total;
+    }
+
+    /**
+     * Computes the summed gradient and loss over records [from, to).
+     */
+    private static double[] sliceGradient(double[] weights, byte[] results, short[] features, int from, int to) {
+        int featureCount = weights.length - 1;
+        double[] gradient = new double[weights.length + 1];
+        double loss = 0;
+        for (int r = from; r < to; r++) {
+            int offset = r * featureCount;
+            double eval = weights[featureCount];
+            for (int f = 0; f < featureCount; f++) {
+                eval += weights[f] * features[offset + f];
+            }
+            double p = 1 / (1 + Math.exp(-eval));
+            double y = results[r] * 0.5;
+            double error = p - y;
+            for (int f = 0; f < featureCount; f++) {
+                gradient[f] += error * features[offset + f];
+            }
+            gradient[featureCount] += error;
+            // Cross-entropy, clamped so saturated predictions do not produce infinities
+            double clamped = Math.min(Math.max(p, 1e-12), 1 - 1e-12);
+            loss -= y * Math.log(clamped) + (1 - y) * Math.log(1 - clamped);
+        }
+        gradient[featureCount + 1] = loss;
+        return gradient;
+    }
+
+    /**
+     * Statistics about one training epoch.
+     */
+    public static final class EpochStats {
+        private final int epoch;
+        private final double loss;
+        private final long positions;
+        private final long nanos;
+
+        EpochStats(int epoch, double loss, long positions, long nanos) {
+            this.epoch = epoch;
+            this.loss = loss;
+            this.positions = positions;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Returns the number of this epoch.
+         *
+         * @return the epoch number, starting at 1.
+         */
+        public int getEpoch() {
+            return epoch;
+        }
+
+        /**
+         * Returns the mean cross-entropy loss over the epoch, measured while the weights were updated.
+         *
+         * @return the mean loss per position.
+         */
+        public double getLoss() {
+            return loss;
+        }
+
+        /**
+         * Returns the number of positions trained on.
+         *
+         * @return the position count.
+         */
+        public long getPositions() {
+            return positions;
+        }
+
+        /**
+         * Returns the wall-clock time of the epoch.
+         *
+         * @return the duration in nanoseconds.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns the training throughput.
+         *
+         * @return the positions processed per minute.
+         */
+        public double getPositionsPerMinute() {
+            return nanos == 0 ? 0 : positions * 60e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Epoch %d: loss %.5f over %,d positions in %.2f s, %,.0f positions/min",
+                    epoch, loss, positions, nanos / 1e9, getPositionsPerMinute());
+        }
+    }
+}
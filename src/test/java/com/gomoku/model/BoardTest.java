@@ -72,4 +72,42 @@ class BoardTest {
         
         assertTrue(board.isBoardFull(), "Fully occupied board should be full");
     }
+
+    @Test
+    void testCopyCellsIsRowMajor() {
+        board.makeMove(0, 6, 'X');
+        board.makeMove(3, 2, 'O');
+
+        char[] cells = board.copyCells();
+        assertEquals(49, cells.length, "Copy should hold every cell");
+        assertEquals('X', cells[0 * 7 + 6], "Cell (row, col) should be at row * size + col");
+        assertEquals('O', cells[3 * 7 + 2], "Cell (row, col) should be at row * size + col");
+        assertEquals(' ', cells[6 * 7 + 0], "Empty cells should be copied as blank");
+    }
+
+    @Test
+    void testCopyCellsIsIndependent() {
+        char[] cells = board.copyCells();
+        cells[0] = 'O';
+        board.makeMove(1, 1, 'X');
+
+        assertEquals(' ', board.getCell(0, 0), "Changing the copy should not change the board");
+        assertEquals(' ', cells[1 * 7 + 1], "Later moves should not change the copy");
+    }
+
+    @Test
+    void testSnapshotIsUnaffectedByLaterChanges() {
+        board.makeMove(2, 2, 'X');
+        GameSnapshot snapshot = board.snapshot(5, 'O', false, null, 1);
+
+        board.makeMove(2, 3, 'O');
+        assertEquals(' ', snapshot.getCell(2, 3), "Snapshot should not see later moves");
+        board.clear();
+        assertEquals('X', snapshot.getCell(2, 2), "Snapshot should survive clearing the board");
+
+        assertEquals(5, snapshot.getVersion(), "Snapshot should keep its version");
+        assertEquals(7, snapshot.getBoardSize(), "Snapshot should keep the board size");
+        assertEquals('O', snapshot.getCurrentPlayer(), "Snapshot should keep the current player");
+        assertEquals(1, snapshot.getMoveCount(), "Snapshot should keep the move count");
+    }
 }
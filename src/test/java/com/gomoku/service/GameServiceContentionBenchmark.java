@@ -0,0 +1,103 @@
+package com.gomoku.service;
+
+import com.gomoku.model.GameSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention benchmark for {@link GameService} with one writer and many readers.
+ *
+ * <p>The writer plays random games back to back while reader threads continuously take
+ * snapshots and scan the whole board, the way a spectator or renderer would. For each
+ * reader count the benchmark reports writer moves per second and total reader snapshot
+ * scans per second, so the cost readers impose on the writer is visible.</p>
+ *
+ * Run with:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.gomoku.service.GameServiceContentionBenchmark 15 2000
+ * </pre>
+ * where the optional arguments are the board size and the measurement time per round in milliseconds.
+ */
+public class GameServiceContentionBenchmark {
+    private static final int[] READER_COUNTS = {0, 1, 2, 4, 8, 16};
+
+    public static void main(String[] args) throws InterruptedException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 15;
+        long durationMillis = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+
+        System.out.printf("Board %dx%d, %d ms per round, %d cores%n",
+                size, size, durationMillis, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %16s %18s%n", "readers", "writer moves/s", "reader scans/s");
+
+        // Warm-up round so the JIT has compiled the hot paths before measuring
+        run(size, 4, durationMillis / 2);
+        for (int readers : READER_COUNTS) {
+            long[] result = run(size, readers, durationMillis);
+            System.out.printf("%8d %16d %18d%n", readers,
+                    result[0] * 1000 / durationMillis, result[1] * 1000 / durationMillis);
+        }
+    }
+
+    /**
+     * Runs one measurement round.
+     *
+     * @return the number of writer moves and reader scans completed during the round.
+     */
+    private static long[] run(int size, int readerCount, long durationMillis) throws InterruptedException {
+        GameService gameService = new GameService(size, result -> { });
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder scans = new LongAdder();
+        LongAdder checksum = new LongAdder();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < readerCount; t++) {
+            Thread reader = new Thread(() -> {
+                long localScans = 0;
+                long marks = 0;
+                while (running.get()) {
+                    GameSnapshot snapshot = gameService.snapshot();
+                    int boardSize = snapshot.getBoardSize();
+                    for (int i = 0; i < boardSize; i++) {
+                        for (int j = 0; j < boardSize; j++) {
+                            if (snapshot.getCell(i, j) != ' ') {
+                                marks++;
+                            }
+                        }
+                    }
+                    localScans++;
+                }
+                scans.add(localScans);
+                checksum.add(marks);
+            });
+            reader.setDaemon(true);
+            readers.add(reader);
+        }
+        readers.forEach(Thread::start);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long moves = 0;
+        long deadline = System.nanoTime() + durationMillis * 1_000_000L;
+        while (System.nanoTime() < deadline) {
+            if (gameService.isGameOver()) {
+                gameService.reset();
+            }
+            if (gameService.makeMove(random.nextInt(size), random.nextInt(size))) {
+                moves++;
+            }
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        // Keep the reader work observable so it cannot be optimized away
+        if (checksum.sum() == Long.MIN_VALUE) {
+            System.out.println();
+        }
+        return new long[]{moves, scans.sum()};
+    }
+}
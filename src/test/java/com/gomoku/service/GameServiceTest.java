@@ -0,0 +1,172 @@
+package com.gomoku.service;
+
+import com.gomoku.model.GameSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServiceTest {
+    private List<GameSnapshot> results;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        results = new ArrayList<>();
+        gameService = new GameService(7, results::add);
+    }
+
+    @Test
+    void testSnapshotIsImmutable() {
+        GameSnapshot before = gameService.snapshot();
+        assertTrue(gameService.makeMove(0, 0));
+
+        assertEquals(' ', before.getCell(0, 0), "Old snapshot should not see later moves");
+        assertEquals('X', before.getCurrentPlayer(), "Old snapshot should keep its current player");
+        assertEquals('X', gameService.snapshot().getCell(0, 0), "New snapshot should contain the move");
+        assertEquals('O', gameService.snapshot().getCurrentPlayer(), "Turn should pass to the computer");
+    }
+
+    @Test
+    void testVersionIncreasesOnlyOnChange() {
+        long initial = gameService.snapshot().getVersion();
+        gameService.makeMove(0, 0);
+        long afterMove = gameService.snapshot().getVersion();
+        assertTrue(afterMove > initial, "Valid move should publish a new version");
+
+        assertFalse(gameService.makeMove(0, 0), "Move to occupied cell should be rejected");
+        assertEquals(afterMove, gameService.snapshot().getVersion(), "Rejected move should not publish");
+
+        gameService.reset();
+        assertTrue(gameService.snapshot().getVersion() > afterMove, "Reset should publish a new version");
+        assertEquals(' ', gameService.getCell(0, 0), "Reset should clear the board");
+    }
+
+    @Test
+    void testWinIsRecordedWithFinalSnapshot() {
+        // X plays row 0, O plays row 1
+        for (int i = 0; i < 4; i++) {
+            gameService.makeMove(0, i);
+            gameService.makeMove(1, i);
+        }
+        gameService.makeMove(0, 4);
+
+        assertTrue(gameService.isGameOver(), "Five in a row should end the game");
+        assertEquals("Human", gameService.getWinner(), "X should win");
+        assertEquals(1, results.size(), "Finished game should be recorded once");
+        assertSame(gameService.snapshot(), results.get(0), "Recorded result should be the published snapshot");
+        assertEquals(9, results.get(0).getMoveCount(), "Recorded result should carry the move count");
+    }
+
+    @Test
+    void testEvaluatorComputerTakesWinningCell() {
+        GameService service = new GameService(7, results::add, zeroEvaluator());
+        // O builds four in row 1 while X plays scattered moves
+        int[][] moves = {{6, 0}, {1, 0}, {6, 2}, {1, 1}, {5, 4}, {1, 2}, {4, 6}, {1, 3}, {6, 6}};
+        for (int[] move : moves) {
+            assertTrue(service.makeMove(move[0], move[1]), "Setup move should be valid");
+        }
+        assertEquals('O', service.getCurrentPlayer(), "Computer should be to move");
+
+        service.makeComputerMove();
+
+        assertEquals('O', service.getCell(1, 4), "Computer should complete five in a row");
+        assertTrue(service.isGameOver(), "Winning move should end the game");
+        assertEquals("Computer", service.getWinner(), "Computer should be the winner");
+        assertEquals(1, results.size(), "Finished game should be recorded once");
+        assertEquals("Computer", results.get(0).getWinner(), "Recorded result should name the computer");
+
+        service.makeComputerMove();
+        assertEquals(1, results.size(), "No move should be made after the game is over");
+    }
+
+    @Test
+    void testEvaluatorComputerPassesTurnBack() {
+        GameService service = new GameService(7, results::add, zeroEvaluator());
+        service.makeMove(3, 3);
+
+        service.makeComputerMove();
+
+        GameSnapshot snapshot = service.snapshot();
+        assertEquals('X', snapshot.getCurrentPlayer(), "Turn should go back to the human");
+        assertEquals(2, snapshot.getMoveCount(), "Computer move should be counted");
+        assertFalse(snapshot.isGameOver(), "Game should continue");
+        assertTrue(results.isEmpty(), "Nothing should be recorded for an unfinished game");
+    }
+
+    @Test
+    void testResultIsRecordedOutsideTheLock() {
+        AtomicReference<GameService> service = new AtomicReference<>();
+        List<Boolean> lockHeld = new ArrayList<>();
+        service.set(new GameService(7, result -> lockHeld.add(Thread.holdsLock(service.get()))));
+        for (int i = 0; i < 4; i++) {
+            service.get().makeMove(0, i);
+            service.get().makeMove(1, i);
+        }
+        service.get().makeMove(0, 4);
+
+        assertEquals(List.of(false), lockHeld, "Recorder should run once, without holding the lock");
+    }
+
+    @Test
+    void testReadersSeeConsistentSnapshots() throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                long lastVersion = -1;
+                while (running.get() && failure.get() == null) {
+                    GameSnapshot snapshot = gameService.snapshot();
+                    if (snapshot.getVersion() < lastVersion) {
+                        failure.set("Version went backwards");
+                    }
+                    lastVersion = snapshot.getVersion();
+                    int marks = 0;
+                    for (int i = 0; i < snapshot.getBoardSize(); i++) {
+                        for (int j = 0; j < snapshot.getBoardSize(); j++) {
+                            if (snapshot.getCell(i, j) != ' ') {
+                                marks++;
+                            }
+                        }
+                    }
+                    if (marks != snapshot.getMoveCount()) {
+                        failure.set("Board has " + marks + " marks but move count is " + snapshot.getMoveCount());
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (int game = 0; game < 200; game++) {
+            gameService.reset();
+            while (!gameService.isGameOver()) {
+                if (gameService.getCurrentPlayer() == 'X') {
+                    gameService.makeMove((int) (Math.random() * 7), (int) (Math.random() * 7));
+                } else {
+                    gameService.makeComputerMove();
+                }
+            }
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get(), failure.get());
+        assertEquals(200, results.size(), "Every finished game should be recorded");
+    }
+
+    /**
+     * Returns an evaluator whose only preference is completing five in a row.
+     */
+    private static PatternEvaluator zeroEvaluator() {
+        return new PatternEvaluator(new float[LinePatterns.FEATURE_COUNT], 0);
+    }
+}
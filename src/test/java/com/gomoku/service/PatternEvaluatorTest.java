@@ -0,0 +1,99 @@
+package com.gomoku.service;
+
+import com.gomoku.tuning.FeatureExtractor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternEvaluatorTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBestMoveCompletesFive() {
+        float[] weights = new float[LinePatterns.FEATURE_COUNT];
+        PatternEvaluator evaluator = new PatternEvaluator(weights, 0);
+        int size = 7;
+        char[] cells = new char[size * size];
+        Arrays.fill(cells, ' ');
+        for (int col = 0; col < 4; col++) {
+            cells[2 * size + col] = 'O';
+        }
+
+        assertEquals(2 * size + 4, evaluator.bestMove(cells, size, 'O'), "Winning move should be chosen");
+        assertEquals(' ', cells[2 * size + 4], "Board should be restored after the search");
+    }
+
+    @Test
+    void testSaveAndLoadRoundTrip() throws IOException {
+        float[] weights = new float[LinePatterns.FEATURE_COUNT];
+        for (int f = 0; f < weights.length; f++) {
+            weights[f] = f * 0.5f - 3;
+        }
+        PatternEvaluator evaluator = new PatternEvaluator(weights, 1.5f);
+        Path path = tempDir.resolve("weights.bin");
+
+        evaluator.save(path);
+        PatternEvaluator loaded = PatternEvaluator.load(path);
+
+        assertEquals(8 + 4L * (LinePatterns.FEATURE_COUNT + 1), Files.size(path), "Table should be compact");
+        for (int f = 0; f < LinePatterns.FEATURE_COUNT; f++) {
+            assertEquals(weights[f], loaded.getWeight(f), "Weight should round-trip");
+        }
+        assertEquals(1.5f, loaded.getBias(), "Bias should round-trip");
+    }
+
+    @Test
+    void testReadRejectsOtherFiles() {
+        byte[] notATable = {0, 1, 2, 3, 4, 5, 6, 7};
+        assertThrows(IOException.class, () -> PatternEvaluator.read(new ByteArrayInputStream(notATable)),
+                "Wrong magic should be rejected");
+    }
+
+    @Test
+    void testEvaluatorMatchesTrainingFeatures() {
+        int size = 11;
+        Random random = new Random(3);
+        float[] weights = new float[LinePatterns.FEATURE_COUNT];
+        for (int f = 0; f < weights.length; f++) {
+            weights[f] = random.nextFloat() * 2 - 1;
+        }
+        float bias = 0.25f;
+        PatternEvaluator evaluator = new PatternEvaluator(weights, bias);
+        short[] features = new short[LinePatterns.FEATURE_COUNT];
+
+        for (int game = 0; game < 20; game++) {
+            FeatureExtractor extractor = new FeatureExtractor(size);
+            char[] cells = new char[size * size];
+            Arrays.fill(cells, ' ');
+            char player = 'X';
+            for (int move = 0; move < 60; move++) {
+                int cell;
+                do {
+                    cell = random.nextInt(cells.length);
+                } while (cells[cell] != ' ');
+                if (extractor.place(cell / size, cell % size, player)) {
+                    break; // the evaluator scores decided positions separately
+                }
+                cells[cell] = player;
+                player = player == 'X' ? 'O' : 'X';
+
+                extractor.copyFeatures(player, features, 0);
+                double expected = bias;
+                for (int f = 0; f < features.length; f++) {
+                    expected += weights[f] * features[f];
+                }
+                assertEquals(expected, evaluator.evaluate(cells, size, player), 1e-3,
+                        "Runtime evaluation should equal the trained linear model");
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.gomoku.tuning;
+
+import com.gomoku.service.LinePatterns;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorpusExtractorTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testExtractSkipsMalformedGames() throws IOException {
+        Path corpus = tempDir.resolve("corpus.txt");
+        Files.write(corpus, List.of(
+                "# comment",
+                "7 X 3,0 4,0 3,1 4,1 3,2 4,2 3,3 4,3 3,4",  // X wins, last position has a five
+                "",
+                "7 D 0,0 0,1 1,1",
+                "7 X 0,0 0,0",                               // occupied cell
+                "7 Q 0,0",                                   // unknown result
+                "7 O 0,0 9,9",                               // outside the board
+                "7 X 6,0 3,0 6,2 3,1 5,4 3,2 4,6 3,3 6,6 3,4",  // O completes five but X is declared
+                "7 D 3,0 4,0 3,1 4,1 3,2 4,2 3,3 4,3 3,4"));    // X completes five but a draw is declared
+        Path featureFile = tempDir.resolve("features.bin");
+
+        CorpusExtractor.Stats stats = new CorpusExtractor(2).extract(corpus, featureFile);
+
+        assertEquals(2, stats.getGames(), "Valid games should be extracted");
+        assertEquals(5, stats.getSkippedGames(), "Malformed games should be skipped");
+        assertEquals(8 + 3, stats.getPositions(), "Decided positions should be dropped");
+        assertEquals(8 + 11L * FeatureFile.RECORD_BYTES,
+                Files.size(featureFile), "File should hold the header and one record per position");
+
+        byte[] results = new byte[16];
+        short[] features = new short[16 * LinePatterns.FEATURE_COUNT];
+        try (FeatureFile.Reader reader = new FeatureFile.Reader(featureFile, 16)) {
+            assertEquals(11, reader.read(results, features));
+            assertEquals(0, reader.read(results, features), "Reader should stop at the end of the file");
+        }
+        int[] labels = new int[3];
+        for (int r = 0; r < 11; r++) {
+            labels[results[r]]++;
+        }
+        // O is to move, and loses, after each of X's four moves; X is to move, and wins, after O's
+        assertArrayEquals(new int[]{4, 3, 4}, labels, "Each position should carry the result for the player to move");
+    }
+
+    @Test
+    void testExtractShufflesPositions() throws IOException {
+        // X wins every game, so in corpus order the labels would alternate 0, 2, 0, 2, ...
+        Path corpus = tempDir.resolve("corpus.txt");
+        StringBuilder games = new StringBuilder();
+        for (int game = 0; game < 50; game++) {
+            games.append("7 X 3,0 4,0 3,1 4,1 3,2 4,2 3,3 4,3 3,4\n");
+        }
+        Files.writeString(corpus, games);
+        Path featureFile = tempDir.resolve("features.bin");
+
+        new CorpusExtractor(1).extract(corpus, featureFile);
+
+        byte[] results = new byte[400];
+        short[] features = new short[400 * LinePatterns.FEATURE_COUNT];
+        try (FeatureFile.Reader reader = new FeatureFile.Reader(featureFile, 400)) {
+            assertEquals(400, reader.read(results, features), "Every position should be written once");
+        }
+        int repeats = 0;
+        for (int r = 1; r < 400; r++) {
+            if (results[r] == results[r - 1]) {
+                repeats++;
+            }
+        }
+        assertTrue(repeats > 100, "Shuffled positions should not keep the corpus order");
+    }
+}
@@ -0,0 +1,84 @@
+package com.gomoku.tuning;
+
+import com.gomoku.service.LinePatterns;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureExtractorTest {
+    @Test
+    void testIncrementalFeaturesMatchFullScan() {
+        int size = 9;
+        Random random = new Random(42);
+        FeatureExtractor extractor = new FeatureExtractor(size);
+        char[] cells = new char[size * size];
+        Arrays.fill(cells, ' ');
+        short[] features = new short[LinePatterns.FEATURE_COUNT];
+        char player = 'X';
+        for (int move = 0; move < 40; move++) {
+            int cell;
+            do {
+                cell = random.nextInt(cells.length);
+            } while (cells[cell] != ' ');
+            cells[cell] = player;
+            extractor.place(cell / size, cell % size, player);
+            player = player == 'X' ? 'O' : 'X';
+
+            extractor.copyFeatures(player, features, 0);
+            assertArrayEquals(countPatterns(cells, size, player), features, "Features after move " + move);
+        }
+    }
+
+    @Test
+    void testPlaceReportsFiveAndRejectsBadMoves() {
+        FeatureExtractor extractor = new FeatureExtractor(7);
+        for (int col = 0; col < 4; col++) {
+            assertFalse(extractor.place(0, col, 'X'), "Four in a row is not five");
+        }
+        assertFalse(extractor.hasFive(), "No five should be on the board yet");
+        assertTrue(extractor.place(0, 4, 'X'), "Fifth stone should complete five");
+        assertTrue(extractor.hasFive(), "Five should be remembered");
+
+        assertThrows(IllegalArgumentException.class, () -> extractor.place(0, 0, 'O'), "Occupied cell");
+        assertThrows(IllegalArgumentException.class, () -> extractor.place(7, 0, 'O'), "Outside the board");
+
+        extractor.reset();
+        assertFalse(extractor.hasFive(), "Reset should clear the five");
+        assertFalse(extractor.place(0, 0, 'O'), "Reset should empty the board");
+    }
+
+    /**
+     * Counts the patterns of both players by scanning every window of the board.
+     */
+    private static short[] countPatterns(char[] cells, int size, char player) {
+        short[] counts = new short[LinePatterns.FEATURE_COUNT];
+        for (int direction = 0; direction < LinePatterns.directionCount(); direction++) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (!LinePatterns.fits(size, row, col, direction)) {
+                        continue;
+                    }
+                    int own = 0;
+                    int other = 0;
+                    for (int i = 0; i < LinePatterns.WINDOW; i++) {
+                        char cell = cells[LinePatterns.cellOf(size, row, col, direction, i)];
+                        if (cell == player) {
+                            own |= 1 << i;
+                        } else if (cell != ' ') {
+                            other |= 1 << i;
+                        }
+                    }
+                    if (own != 0 && other == 0 && LinePatterns.patternOf(own) >= 0) {
+                        counts[LinePatterns.patternOf(own)]++;
+                    } else if (other != 0 && own == 0 && LinePatterns.patternOf(other) >= 0) {
+                        counts[LinePatterns.COUNT + LinePatterns.patternOf(other)]++;
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+}
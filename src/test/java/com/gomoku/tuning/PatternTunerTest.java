@@ -0,0 +1,80 @@
+package com.gomoku.tuning;
+
+import com.gomoku.service.LinePatterns;
+import com.gomoku.service.PatternEvaluator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternTunerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testTunedWeightsFavourLongerLines() throws IOException {
+        // Games where the first player to build an open line wins
+        Path corpus = tempDir.resolve("corpus.txt");
+        StringBuilder games = new StringBuilder();
+        Random random = new Random(7);
+        for (int game = 0; game < 400; game++) {
+            int row = random.nextInt(5) + 2;
+            int start = random.nextInt(3);
+            boolean xWins = random.nextBoolean();
+            StringBuilder moves = new StringBuilder();
+            for (int i = 0; i < 5; i++) {
+                int winnerCol = start + i;
+                int loserCol = 2 * i;
+                int loserRow = row < 5 ? 8 : 0;
+                if (xWins) {
+                    moves.append(' ').append(row).append(',').append(winnerCol);
+                    if (i < 4) {
+                        moves.append(' ').append(loserRow).append(',').append(loserCol);
+                    }
+                } else {
+                    moves.append(' ').append(loserRow).append(',').append(loserCol);
+                    moves.append(' ').append(row).append(',').append(winnerCol);
+                }
+            }
+            games.append("9 ").append(xWins ? 'X' : 'O').append(moves).append('\n');
+        }
+        Files.writeString(corpus, games);
+        Path weights = tempDir.resolve("weights.bin");
+
+        assertEquals(0, new CorpusExtractor(1).extract(corpus, tempDir.resolve("features.bin")).getSkippedGames(),
+                "Generated games should all be valid");
+        PatternEvaluator tuned = PatternTuner.tune(corpus, weights, 20, 2, 256, 0.05);
+        PatternEvaluator written = PatternEvaluator.load(weights);
+
+        int four = LinePatterns.patternOf(0b01111);
+        int single = LinePatterns.patternOf(0b00001);
+        assertTrue(tuned.getWeight(four) > tuned.getWeight(single), "Own four should outweigh a single stone");
+        assertTrue(tuned.getWeight(LinePatterns.COUNT + four) < 0, "Opponent four should count against the mover");
+        for (int f = 0; f < LinePatterns.FEATURE_COUNT; f++) {
+            assertEquals(tuned.getWeight(f), written.getWeight(f), "Written table should hold the tuned weights");
+        }
+        assertEquals(tuned.getBias(), written.getBias(), "Written table should hold the tuned bias");
+    }
+
+    @Test
+    void testRejectsBadSettingsBeforeWriting() throws IOException {
+        Path corpus = tempDir.resolve("corpus.txt");
+        Files.writeString(corpus, "9 X 4,0 0,0 4,1 0,2 4,2 0,4 4,3 0,6 4,4\n");
+        Path weights = tempDir.resolve("weights.bin");
+
+        assertThrows(IllegalArgumentException.class, () -> PatternTuner.tune(corpus, weights, 0, 1, 256, 0.05),
+                "Zero epochs would write an untrained table");
+        assertThrows(IllegalArgumentException.class, () -> PatternTuner.tune(corpus, weights, 1, 0, 256, 0.05),
+                "Zero threads should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> PatternTuner.tune(corpus, weights, 1, 1, 0, 0.05),
+                "Zero batch size should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> PatternTuner.tune(corpus, weights, 1, 1, 256, 0),
+                "Zero learning rate should be rejected");
+        assertFalse(Files.exists(weights), "No weight table should be written");
+    }
+}